@@ -0,0 +1,195 @@
+package com.github.echolightmc.msguis.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Validates {@code @GUIFormat} annotated format constants and generates a class holding the precompiled
+ * {@code GUILayout} for each of them, so bad formats fail the build instead of the first class initialization.
+ */
+@SupportedAnnotationTypes(GUIFormatProcessor.ANNOTATION)
+public class GUIFormatProcessor extends AbstractProcessor {
+
+	static final String ANNOTATION = "com.github.echolightmc.msguis.GUIFormat";
+
+	private static final int MAX_ROWS = 6;
+	private static final char NONE = '\0';
+	// annotation element name and Indicator constant name pairs, ordered so the generated source is stable
+	private static final String[][] INDICATORS = {
+			{"inputSlot", "INPUT_SLOT"},
+			{"outputSlot", "OUTPUT_SLOT"},
+			{"contentSlot", "CONTENT_SLOT"}
+	};
+
+	private Filer filer;
+	private Messager messager;
+
+	@Override
+	public synchronized void init(ProcessingEnvironment processingEnv) {
+		super.init(processingEnv);
+		filer = processingEnv.getFiler();
+		messager = processingEnv.getMessager();
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (TypeElement annotation : annotations) {
+			for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+				processElement(element);
+			}
+		}
+		return true;
+	}
+
+	private void processElement(Element element) {
+		if (element.getKind() != ElementKind.FIELD || !element.getModifiers().contains(Modifier.STATIC)
+			|| !element.getModifiers().contains(Modifier.FINAL)) {
+			error(element, "@GUIFormat can only be used on static final String constants.");
+			return;
+		}
+		if (!(((VariableElement) element).getConstantValue() instanceof String rawFormat)) {
+			error(element, "@GUIFormat can only be used on static final String constants.");
+			return;
+		}
+		String format = rawFormat.replace("\n", "");
+		int characterCount = format.length();
+		if (characterCount == 0) {
+			error(element, "The format is empty.");
+			return;
+		}
+		if (characterCount % 9 != 0) {
+			error(element, "The format is not divisible by 9 (slot count per row).");
+			return;
+		}
+		int rowCount = characterCount/9;
+		if (rowCount > MAX_ROWS) {
+			error(element, "Too many rows provided in the format!");
+			return;
+		}
+		Map<String, Object> values = getAnnotationValues(element);
+		String className = String.valueOf(values.getOrDefault("value", ""));
+		if (!SourceVersion.isName(className) || className.contains(".")) {
+			error(element, "\"" + className + "\" is not a valid class name.");
+			return;
+		}
+		Map<String, Character> indicators = new LinkedHashMap<>();
+		for (String[] indicator : INDICATORS) {
+			if (!(values.get(indicator[0]) instanceof Character character) || character == NONE) continue;
+			if (format.indexOf(character) == -1) {
+				error(element, "The " + indicator[1] + " indicator character '" + character
+							   + "' does not appear in the format.");
+				return;
+			}
+			indicators.put(indicator[1], character);
+		}
+		PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(element);
+		String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+		try {
+			writeLayout(element, packageName, className, format, rowCount, indicators);
+		} catch (IOException e) {
+			error(element, "Failed to write " + className + ": " + e.getMessage());
+		}
+	}
+
+	private Map<String, Object> getAnnotationValues(Element element) {
+		Map<String, Object> values = new HashMap<>();
+		element.getAnnotationMirrors().stream()
+			   .filter(mirror -> mirror.getAnnotationType().toString().equals(ANNOTATION))
+			   .flatMap(mirror -> mirror.getElementValues().entrySet().stream())
+			   .forEach(entry -> values.put(entry.getKey().getSimpleName().toString(), entry.getValue().getValue()));
+		return values;
+	}
+
+	private void writeLayout(Element element, String packageName, String className, String format, int rowCount,
+							 Map<String, Character> indicators) throws IOException {
+		Map<Character, List<Integer>> slotMap = new LinkedHashMap<>();
+		char[] chars = format.toCharArray();
+		for (int i = 0; i < chars.length; i++) {
+			slotMap.computeIfAbsent(chars[i], c -> new ArrayList<>()).add(i);
+		}
+		StringBuilder charArray = new StringBuilder();
+		StringBuilder slotArray = new StringBuilder();
+		for (Map.Entry<Character, List<Integer>> entry : slotMap.entrySet()) {
+			if (!charArray.isEmpty()) {
+				charArray.append(", ");
+				slotArray.append(",\n\t\t\t\t");
+			}
+			charArray.append(charLiteral(entry.getKey()));
+			slotArray.append('{').append(joinSlots(entry.getValue())).append('}');
+		}
+		StringBuilder literal = new StringBuilder();
+		for (char c : chars) literal.append(escape(c, '"'));
+		StringBuilder indicatorMap = new StringBuilder();
+		for (Map.Entry<String, Character> indicator : indicators.entrySet()) {
+			if (!indicatorMap.isEmpty()) indicatorMap.append(", ");
+			indicatorMap.append("Indicator.").append(indicator.getKey()).append(", ").append(charLiteral(indicator.getValue()));
+		}
+
+		String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+		try (Writer writer = filer.createSourceFile(qualifiedName, element).openWriter()) {
+			if (!packageName.isEmpty()) writer.write("package " + packageName + ";\n\n");
+			writer.write("import com.github.echolightmc.msguis.ChestType;\n");
+			writer.write("import com.github.echolightmc.msguis.GUILayout;\n");
+			writer.write("import com.github.echolightmc.msguis.Indicator;\n\n");
+			writer.write("import java.util.Map;\n\n");
+			writer.write("public final class " + className + " {\n\n");
+			writer.write("\tpublic static final GUILayout LAYOUT = new GUILayout(\n");
+			writer.write("\t\t\t\"" + literal + "\",\n");
+			writer.write("\t\t\tChestType.ROWS_" + rowCount + ",\n");
+			writer.write("\t\t\tnew char[] {" + charArray + "},\n");
+			writer.write("\t\t\tnew int[][] {\n\t\t\t\t" + slotArray + "\n\t\t\t},\n");
+			writer.write("\t\t\tMap.of(" + indicatorMap + "));\n\n");
+			writer.write("\tprivate " + className + "() {}\n\n");
+			writer.write("}\n");
+		}
+	}
+
+	private static String joinSlots(List<Integer> slots) {
+		StringBuilder joined = new StringBuilder();
+		for (int i = 0; i < slots.size(); i++) {
+			if (i > 0) joined.append(", ");
+			joined.append(slots.get(i));
+		}
+		return joined.toString();
+	}
+
+	private static String charLiteral(char c) {
+		return "'" + escape(c, '\'') + "'";
+	}
+
+	private static String escape(char c, char quote) {
+		if (c == quote || c == '\\') return "\\" + c;
+		if (c < 0x20) return String.format("\\%03o", (int) c); // unicode escapes would be translated before lexing
+		return String.valueOf(c);
+	}
+
+	private void error(Element element, String message) {
+		messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+	}
+
+}
@@ -38,12 +38,23 @@ public abstract class ChestGUI {
 
 	protected ChestGUI(ChestType chestType, Component title, GUIManager guiManager, String format,
 					   Map<Character, GUIItem> itemMap, Map<Indicator, Character> indicators) {
+		this(chestType, title, guiManager, format, createCharSlotMap(format), itemMap, indicators);
+	}
+
+	protected ChestGUI(GUILayout layout, Component title, GUIManager guiManager, Map<Character, GUIItem> itemMap,
+					   Map<Indicator, Character> indicators) {
+		this(layout.getChestType(), title, guiManager, layout.getFormat(), layout.createCharSlotMap(), itemMap, indicators);
+	}
+
+	private ChestGUI(ChestType chestType, Component title, GUIManager guiManager, String format,
+					 Map<Character, Integer[]> charSlotMap, Map<Character, GUIItem> itemMap,
+					 Map<Indicator, Character> indicators) {
 		inventory = new Inventory(chestType.getMinestomInventoryType(), title);
 		this.chestType = chestType;
 		this.guiManager = guiManager;
 		this.format = format;
 		items = new GUIItem[format.toCharArray().length];
-		charSlotMap = createCharSlotMap();
+		this.charSlotMap = charSlotMap;
 		this.itemMap = itemMap;
 		this.indicators = indicators;
 		applyFormat();
@@ -56,7 +67,7 @@ public abstract class ChestGUI {
 
 	public void setFormat(String format) {
 		this.format = format.replace("\n", "");
-		charSlotMap = createCharSlotMap();
+		charSlotMap = createCharSlotMap(this.format);
 		applyFormat();
 	}
 
@@ -86,7 +97,7 @@ public abstract class ChestGUI {
 		}
 	}
 
-	private Map<Character, Integer[]> createCharSlotMap() {
+	private static Map<Character, Integer[]> createCharSlotMap(String format) {
 		Map<Character, List<Integer>> tempMap = new HashMap<>();
 		char[] chars = format.toCharArray();
 		for (int i = 0; i < chars.length; i++) {
@@ -149,6 +160,7 @@ public abstract class ChestGUI {
 
 		protected String format;
 		protected ChestType chestType;
+		protected GUILayout layout;
 		protected MiniMessage miniMessageProvider = MiniMessage.miniMessage();
 		protected Component title;
 		protected GUIManager guiManager;
@@ -170,9 +182,35 @@ public abstract class ChestGUI {
 				}
 			}
 			this.format = format;
+			clearLayout();
 			return (B) this;
 		}
 
+		/**
+		 * Uses a precompiled layout instead of validating and mapping a format at runtime. Indicators declared on
+		 * the layout replace ones set with {@link #item(char, Indicator)} or by a previous layout.
+		 *
+		 * @param layout the layout, usually the {@code LAYOUT} constant of a class generated from {@link GUIFormat}
+		 * @return {@link B}
+		 */
+		public B layout(GUILayout layout) {
+			clearLayout();
+			this.layout = layout;
+			format = layout.getFormat();
+			chestType = layout.getChestType();
+			indicators.putAll(layout.getIndicators());
+			return (B) this;
+		}
+
+		private void clearLayout() {
+			if (layout == null) return;
+			// drop the indicators the layout contributed so they don't leak into the next format
+			for (Map.Entry<Indicator, Character> entry : layout.getIndicators().entrySet()) {
+				indicators.remove(entry.getKey(), entry.getValue());
+			}
+			layout = null;
+		}
+
 		/**
 		 * If no minimessage provider is provided, the default one will be used.
 		 *
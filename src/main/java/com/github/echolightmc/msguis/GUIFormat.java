@@ -0,0 +1,42 @@
+package com.github.echolightmc.msguis;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@code static final String} format constant to be validated at compile time by the MSGuis annotation
+ * processor, which generates a class in the same package exposing the precompiled {@link GUILayout} as
+ * {@code LAYOUT}. Pass it to a builder's {@code layout} method instead of calling {@code format}.
+ * <p>
+ * Indicator characters declared here must appear in the format, their slots are available through
+ * {@link GUILayout#getSlots(Indicator)}.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface GUIFormat {
+
+	char NONE = '\0';
+
+	/**
+	 * @return the simple name of the generated layout class
+	 */
+	String value();
+
+	/**
+	 * @return the character marking the {@link Indicator#INPUT_SLOT} slots, or {@link #NONE}
+	 */
+	char inputSlot() default NONE;
+
+	/**
+	 * @return the character marking the {@link Indicator#OUTPUT_SLOT} slots, or {@link #NONE}
+	 */
+	char outputSlot() default NONE;
+
+	/**
+	 * @return the character marking the {@link Indicator#CONTENT_SLOT} slots, or {@link #NONE}
+	 */
+	char contentSlot() default NONE;
+
+}
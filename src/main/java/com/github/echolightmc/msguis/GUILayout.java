@@ -0,0 +1,78 @@
+package com.github.echolightmc.msguis;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A format whose validation and slot mapping has already been done, normally generated at compile time from a
+ * {@link GUIFormat} annotated constant.
+ */
+public final class GUILayout {
+
+	private final String format;
+	private final ChestType chestType;
+	private final char[] chars;
+	private final int[][] slots;
+	private final Map<Indicator, Character> indicators;
+
+	/**
+	 * Only meant to be called by generated layout classes, which have already validated the format.
+	 *
+	 * @param format the format with line breaks removed
+	 * @param chestType the chest type matching the row count of the format
+	 * @param chars every distinct character of the format
+	 * @param slots the slots of each character, in the same order as {@code chars}
+	 * @param indicators the indicators declared on the format, each mapped to a character of the format
+	 */
+	@ApiStatus.Internal
+	public GUILayout(String format, ChestType chestType, char[] chars, int[][] slots,
+					 Map<Indicator, Character> indicators) {
+		if (chars.length != slots.length) throw new IllegalArgumentException("chars and slots must be the same length");
+		this.format = format;
+		this.chestType = chestType;
+		this.chars = chars;
+		this.slots = slots;
+		this.indicators = Map.copyOf(indicators);
+	}
+
+	public String getFormat() {
+		return format;
+	}
+
+	public ChestType getChestType() {
+		return chestType;
+	}
+
+	public Map<Indicator, Character> getIndicators() {
+		return indicators;
+	}
+
+	/**
+	 * @param indicator the indicator to get the slots of
+	 * @return a copy of the slots marked by the indicator, empty if the layout doesn't declare it
+	 */
+	public int[] getSlots(Indicator indicator) {
+		Character character = indicators.get(indicator);
+		if (character == null) return new int[0];
+		for (int i = 0; i < chars.length; i++) {
+			if (chars[i] == character) return slots[i].clone();
+		}
+		return new int[0];
+	}
+
+	/**
+	 * @return a slot map owned by the caller, so GUIs built from this layout never share mutable slot arrays
+	 */
+	Map<Character, Integer[]> createCharSlotMap() {
+		Map<Character, Integer[]> cSlotMap = new HashMap<>();
+		for (int i = 0; i < chars.length; i++) {
+			Integer[] boxedSlots = new Integer[slots[i].length];
+			for (int j = 0; j < boxedSlots.length; j++) boxedSlots[j] = slots[i][j];
+			cSlotMap.put(chars[i], boxedSlots);
+		}
+		return cSlotMap;
+	}
+
+}
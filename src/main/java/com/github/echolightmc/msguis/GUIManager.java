@@ -1,27 +1,44 @@
 package com.github.echolightmc.msguis;
 
+import net.minestom.server.entity.Player;
 import net.minestom.server.event.EventFilter;
 import net.minestom.server.event.EventListener;
 import net.minestom.server.event.EventNode;
 import net.minestom.server.event.GlobalEventHandler;
 import net.minestom.server.event.inventory.InventoryPreClickEvent;
+import net.minestom.server.event.player.PlayerDisconnectEvent;
 import net.minestom.server.event.trait.InventoryEvent;
+import net.minestom.server.event.trait.PlayerEvent;
 import net.minestom.server.inventory.AbstractInventory;
 import net.minestom.server.inventory.Inventory;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class GUIManager {
 
+	public static final int DEFAULT_NAVIGATION_DEPTH = 10;
+
 	private static int idCounter = 0;
 
 	private final int ID;
+	private final int maxNavigationDepth;
 	private final Map<Inventory, ChestGUI> guiMap = new WeakHashMap<>();
+	private final Map<UUID, NavigationHistory<ChestGUI>> navigationMap = new ConcurrentHashMap<>();
 
 	public GUIManager(GlobalEventHandler globalEventHandler) {
+		this(globalEventHandler, DEFAULT_NAVIGATION_DEPTH);
+	}
+
+	/**
+	 * @param maxNavigationDepth how many previous (and next) GUIs are retained per player for back/forward navigation
+	 */
+	public GUIManager(GlobalEventHandler globalEventHandler, int maxNavigationDepth) {
+		if (maxNavigationDepth < 1) throw new IllegalArgumentException("maxNavigationDepth must be at least 1");
 		ID = idCounter++;
+		this.maxNavigationDepth = maxNavigationDepth;
 		hookEvents(globalEventHandler);
 	}
 
@@ -30,13 +47,70 @@ public class GUIManager {
 	}
 
 	public boolean unregisterGUI(ChestGUI chestGUI) {
+		for (NavigationHistory<ChestGUI> history : navigationMap.values()) {
+			history.remove(chestGUI);
+		}
 		return guiMap.remove(chestGUI.inventory, chestGUI);
 	}
 
+	/**
+	 * Opens the GUI to the player and records it in their navigation history. The previously navigated GUI is kept
+	 * as-is so {@link #navigateBack(Player)} can reopen it without rebuilding it.
+	 *
+	 * @param player the player to open the GUI to
+	 * @param chestGUI the GUI to navigate to
+	 */
+	public void navigateTo(Player player, ChestGUI chestGUI) {
+		getNavigationHistory(player).push(chestGUI);
+		open(player, chestGUI);
+	}
+
+	/**
+	 * @param player the player to navigate back for
+	 * @return whether there was a previous GUI to reopen
+	 */
+	public boolean navigateBack(Player player) {
+		NavigationHistory<ChestGUI> history = navigationMap.get(player.getUuid());
+		if (history == null) return false;
+		ChestGUI previous = history.back();
+		if (previous == null) return false;
+		open(player, previous);
+		return true;
+	}
+
+	/**
+	 * @param player the player to navigate forward for
+	 * @return whether there was a next GUI to reopen
+	 */
+	public boolean navigateForward(Player player) {
+		NavigationHistory<ChestGUI> history = navigationMap.get(player.getUuid());
+		if (history == null) return false;
+		ChestGUI next = history.forward();
+		if (next == null) return false;
+		open(player, next);
+		return true;
+	}
+
+	public void clearNavigation(Player player) {
+		navigationMap.remove(player.getUuid());
+	}
+
+	private NavigationHistory<ChestGUI> getNavigationHistory(Player player) {
+		return navigationMap.computeIfAbsent(player.getUuid(), uuid -> new NavigationHistory<>(maxNavigationDepth));
+	}
+
+	private void open(Player player, ChestGUI chestGUI) {
+		if (player.getOpenInventory() == chestGUI.inventory) return; // already viewing this window, nothing to resend
+		player.openInventory(chestGUI.inventory);
+	}
+
 	private void hookEvents(GlobalEventHandler globalEventHandler) {
 		EventNode<InventoryEvent> node = EventNode.type("MSGuis-Manager-" + ID, EventFilter.INVENTORY)
 														  .addListener(getClickListener());
 		globalEventHandler.addChild(node);
+		EventNode<PlayerEvent> playerNode = EventNode.type("MSGuis-Manager-Players-" + ID, EventFilter.PLAYER)
+													 .addListener(getDisconnectListener());
+		globalEventHandler.addChild(playerNode);
 	}
 
 	private EventListener<InventoryPreClickEvent> getClickListener() {
@@ -48,4 +122,8 @@ public class GUIManager {
 		});
 	}
 
+	private EventListener<PlayerDisconnectEvent> getDisconnectListener() {
+		return EventListener.of(PlayerDisconnectEvent.class, event -> clearNavigation(event.getPlayer()));
+	}
+
 }
@@ -0,0 +1,72 @@
+package com.github.echolightmc.msguis;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of what a player last had selected in a GUI. Stored per player and GUI id by a
+ * {@link GUIStateStore}.
+ */
+public final class GUIState {
+
+	public static final GUIState EMPTY = new GUIState(0, 0, Map.of());
+
+	private final int scrollPos;
+	private final int page;
+	private final Map<String, String> values;
+
+	GUIState(int scrollPos, int page, Map<String, String> values) {
+		this.scrollPos = scrollPos;
+		this.page = page;
+		this.values = values;
+	}
+
+	public int getScrollPos() {
+		return scrollPos;
+	}
+
+	public int getPage() {
+		return page;
+	}
+
+	/**
+	 * @param key the key of the custom value, e.g. a filter or selected tab
+	 * @return the value or null if none is set
+	 */
+	public String get(String key) {
+		return values.get(key);
+	}
+
+	public Map<String, String> getValues() {
+		return values;
+	}
+
+	public GUIState withScrollPos(int scrollPos) {
+		return new GUIState(scrollPos, page, values);
+	}
+
+	public GUIState withPage(int page) {
+		return new GUIState(scrollPos, page, values);
+	}
+
+	/**
+	 * @param key the key of the custom value
+	 * @param value the value, or null to remove it
+	 * @return a copy of this state with the value set
+	 */
+	public GUIState with(String key, String value) {
+		if (value == null) return without(key);
+		Map<String, String> newValues = new HashMap<>(values);
+		newValues.put(key, value);
+		return new GUIState(scrollPos, page, Collections.unmodifiableMap(newValues));
+	}
+
+	public GUIState without(String key) {
+		if (!values.containsKey(key)) return this;
+		Map<String, String> newValues = new HashMap<>(values);
+		newValues.remove(key);
+		return new GUIState(scrollPos, page, Collections.unmodifiableMap(newValues));
+	}
+
+}
@@ -0,0 +1,385 @@
+package com.github.echolightmc.msguis;
+
+import net.minestom.server.entity.Player;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Optional local store remembering {@link GUIState}s per player and GUI id across reconnects and restarts.
+ * <p>
+ * All state is kept in memory so reads are a map lookup. Changes are batched and appended to a memory-mapped file
+ * by a background thread, which also compacts the file once it is mostly made up of outdated records, so writing
+ * never blocks the calling thread. Every record carries a CRC32, loading stops at the first record that doesn't
+ * match so a write torn by a crash only loses the changes of that last flush.
+ */
+public class GUIStateStore implements AutoCloseable {
+
+	public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofSeconds(1);
+
+	private static final int MAGIC = 0x4D534753; // "MSGS"
+	private static final int VERSION = 2;
+	private static final int HEADER_SIZE = 8;
+	private static final int RECORD_HEADER_SIZE = 8; // payload length and CRC32 of the payload
+	private static final int INITIAL_MAP_SIZE = 64 * 1024;
+	private static final int ZERO_CHUNK_SIZE = 8 * 1024;
+	private static final int COMPACTION_MIN_RECORDS = 4096;
+	private static final byte RECORD_PUT = 1;
+	private static final byte RECORD_REMOVE = 2;
+
+	private final Path file;
+	private final Map<Key, GUIState> states = new ConcurrentHashMap<>();
+	private final Set<Key> dirtyKeys = ConcurrentHashMap.newKeySet();
+	private final ScheduledExecutorService writer;
+	private final Consumer<Throwable> errorHandler;
+	private boolean closed;
+
+	// only accessed by the writer thread after construction
+	private FileChannel channel;
+	private MappedByteBuffer buffer;
+	private int writePos;
+	private int recordCount;
+	private int nextCompactionAttempt;
+
+	private GUIStateStore(Path file, Duration flushInterval, Consumer<Throwable> errorHandler) throws IOException {
+		this.file = file;
+		this.errorHandler = errorHandler;
+		load();
+		writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "MSGuis-StateStore");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long interval = flushInterval.toMillis();
+		writer.scheduleWithFixedDelay(this::flushSafely, interval, interval, TimeUnit.MILLISECONDS);
+	}
+
+	public static GUIStateStore open(Path file) throws IOException {
+		return open(file, DEFAULT_FLUSH_INTERVAL, Throwable::printStackTrace);
+	}
+
+	/**
+	 * @param file the file to load the state from and append changes to, created if it doesn't exist
+	 * @param flushInterval how long changes are batched before being written to the file
+	 * @param errorHandler receives errors of background flushes, e.g. {@code exceptionManager::handleException}
+	 * @return the opened store
+	 * @throws IOException if the file could not be opened or is not a state store file
+	 */
+	public static GUIStateStore open(Path file, Duration flushInterval, Consumer<Throwable> errorHandler)
+			throws IOException {
+		if (flushInterval.isNegative() || flushInterval.isZero())
+			throw new IllegalArgumentException("flushInterval must be positive");
+		return new GUIStateStore(file, flushInterval, errorHandler);
+	}
+
+	public GUIState get(UUID player, String guiId) {
+		return states.getOrDefault(new Key(player, guiId), GUIState.EMPTY);
+	}
+
+	public GUIState get(Player player, String guiId) {
+		return get(player.getUuid(), guiId);
+	}
+
+	public void put(UUID player, String guiId, GUIState state) {
+		Key key = new Key(player, guiId);
+		states.put(key, state);
+		dirtyKeys.add(key);
+	}
+
+	public void put(Player player, String guiId, GUIState state) {
+		put(player.getUuid(), guiId, state);
+	}
+
+	public void remove(UUID player, String guiId) {
+		Key key = new Key(player, guiId);
+		if (states.remove(key) != null) dirtyKeys.add(key);
+	}
+
+	public void remove(Player player, String guiId) {
+		remove(player.getUuid(), guiId);
+	}
+
+	/**
+	 * Stores the current scroll position of the GUI, keeping any other state already stored for it.
+	 */
+	public void save(Player player, String guiId, ScrollGUI gui) {
+		put(player, guiId, get(player, guiId).withScrollPos(gui.getCurrentScrollPos()));
+	}
+
+	/**
+	 * Scrolls the GUI back to the stored scroll position, if any.
+	 */
+	public void restore(Player player, String guiId, ScrollGUI gui) {
+		gui.scrollTo(get(player, guiId).getScrollPos());
+	}
+
+	/**
+	 * Writes all pending changes and closes the file. The store must not be used afterwards, closing it again does
+	 * nothing.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (closed) return;
+		closed = true;
+		writer.shutdown();
+		try {
+			try {
+				if (!writer.awaitTermination(10, TimeUnit.SECONDS))
+					throw new IOException("Timed out waiting for pending state store writes");
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while waiting for pending state store writes", e);
+			}
+			flush();
+			buffer.force();
+		} finally {
+			channel.close();
+		}
+	}
+
+	private void load() throws IOException {
+		channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			readFile();
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	private void readFile() throws IOException {
+		long size = channel.size();
+		if (size > Integer.MAX_VALUE) throw new IOException("State store file is too large: " + file);
+		if (size > 0) {
+			// validated before mapping, since mapping past the end grows the file and would damage a wrong file
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			while (header.hasRemaining()) {
+				if (channel.read(header, header.position()) < 0) break;
+			}
+			if (header.hasRemaining() || header.getInt(0) != MAGIC) throw new IOException("Not a state store file: " + file);
+			if (header.getInt(4) != VERSION) throw new IOException("Unsupported state store version: " + header.getInt(4));
+		}
+		buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, INITIAL_MAP_SIZE));
+		if (size == 0) {
+			writeHeader(buffer);
+			writePos = HEADER_SIZE;
+			return;
+		}
+		int pos = HEADER_SIZE;
+		boolean torn = false;
+		while (pos + RECORD_HEADER_SIZE <= buffer.capacity()) {
+			int length = buffer.getInt(pos);
+			if (length == 0) break; // end of the written data
+			// anything invalid is a torn write from a crash, dirty pages don't reach the disk in any particular order
+			if (length < 0 || length > buffer.capacity() - pos - RECORD_HEADER_SIZE) {
+				torn = true;
+				break;
+			}
+			ByteBuffer record = buffer.slice(pos + RECORD_HEADER_SIZE, length);
+			if (checksum(record) != buffer.getInt(pos + 4)) {
+				torn = true;
+				break;
+			}
+			try {
+				readRecord(record);
+			} catch (BufferUnderflowException | IllegalArgumentException e) {
+				torn = true;
+				break;
+			}
+			pos += RECORD_HEADER_SIZE + length;
+			recordCount++;
+		}
+		writePos = pos;
+		// clear whatever is left of a torn write so it is never mistaken for a record later
+		if (torn) clear(buffer, pos);
+	}
+
+	private static void clear(MappedByteBuffer buffer, int from) {
+		byte[] zeroes = new byte[Math.min(ZERO_CHUNK_SIZE, buffer.capacity() - from)];
+		for (int pos = from; pos < buffer.capacity(); pos += zeroes.length) {
+			buffer.put(pos, zeroes, 0, Math.min(zeroes.length, buffer.capacity() - pos));
+		}
+	}
+
+	private void readRecord(ByteBuffer record) {
+		byte type = record.get();
+		Key key = new Key(new UUID(record.getLong(), record.getLong()), readString(record));
+		if (type == RECORD_REMOVE) {
+			states.remove(key);
+			return;
+		}
+		if (type != RECORD_PUT) throw new IllegalArgumentException("Unknown record type " + type);
+		int scrollPos = record.getInt();
+		int page = record.getInt();
+		int valueCount = record.getInt();
+		Map<String, String> values = new HashMap<>();
+		for (int i = 0; i < valueCount; i++) {
+			values.put(readString(record), readString(record));
+		}
+		states.put(key, new GUIState(scrollPos, page, Collections.unmodifiableMap(values)));
+	}
+
+	private void flushSafely() {
+		try {
+			flush();
+		} catch (Throwable throwable) {
+			try {
+				errorHandler.accept(throwable);
+			} catch (Throwable ignored) {
+				// a throwing handler would cancel the scheduled flush and silently stop persisting
+			}
+		}
+	}
+
+	private void flush() throws IOException {
+		if (dirtyKeys.isEmpty()) return;
+		for (Key key : dirtyKeys) {
+			dirtyKeys.remove(key); // removed before reading so a concurrent put marks it dirty again
+			byte[] record = encodeRecord(key, states.get(key));
+			try {
+				ensureCapacity(RECORD_HEADER_SIZE + record.length + RECORD_HEADER_SIZE); // keep the terminating zeroes
+			} catch (IOException e) {
+				dirtyKeys.add(key); // retried on the next flush
+				throw e;
+			}
+			writePos = writeRecord(buffer, writePos, record);
+			recordCount++;
+		}
+		buffer.force();
+		if (recordCount > Math.max(COMPACTION_MIN_RECORDS, nextCompactionAttempt) && recordCount > states.size() * 2)
+			compact();
+	}
+
+	private void ensureCapacity(int bytes) throws IOException {
+		long required = (long) writePos + bytes;
+		if (required <= buffer.capacity()) return;
+		long newSize = Math.max((long) buffer.capacity() * 2, required);
+		if (newSize > Integer.MAX_VALUE) throw new IOException("State store file is too large: " + file);
+		buffer.force();
+		buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, newSize);
+	}
+
+	/**
+	 * Rewrites the live states to a new file which then replaces the current one. The store only switches over once
+	 * the new file is in place, so a failed compaction leaves it appending to the original file.
+	 */
+	private void compact() throws IOException {
+		List<byte[]> records = new ArrayList<>(states.size());
+		long size = HEADER_SIZE + RECORD_HEADER_SIZE;
+		for (Map.Entry<Key, GUIState> entry : states.entrySet()) {
+			byte[] record = encodeRecord(entry.getKey(), entry.getValue());
+			records.add(record);
+			size += RECORD_HEADER_SIZE + record.length;
+		}
+		if (size > Integer.MAX_VALUE) throw new IOException("State store file is too large: " + file);
+		Path tempFile = file.resolveSibling(file.getFileName() + ".compact");
+		FileChannel newChannel = null;
+		MappedByteBuffer newBuffer;
+		int newWritePos = HEADER_SIZE;
+		try {
+			Files.deleteIfExists(tempFile); // leftover of an earlier failed compaction, never written to otherwise
+			newChannel = FileChannel.open(tempFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+										  StandardOpenOption.WRITE);
+			newBuffer = newChannel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, INITIAL_MAP_SIZE));
+			writeHeader(newBuffer);
+			for (byte[] record : records) newWritePos = writeRecord(newBuffer, newWritePos, record);
+			newBuffer.force();
+			Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException | RuntimeException e) {
+			// e.g. on Windows the original file can't be replaced while it is still mapped, so back off for a while
+			nextCompactionAttempt = recordCount * 2;
+			try {
+				if (newChannel != null) newChannel.close();
+				Files.deleteIfExists(tempFile);
+			} catch (IOException suppressed) {
+				e.addSuppressed(suppressed);
+			}
+			throw e;
+		}
+		channel.close();
+		channel = newChannel;
+		buffer = newBuffer;
+		writePos = newWritePos;
+		recordCount = records.size();
+		nextCompactionAttempt = 0;
+	}
+
+	private static void writeHeader(MappedByteBuffer buffer) {
+		buffer.putInt(0, MAGIC);
+		buffer.putInt(4, VERSION);
+	}
+
+	private static int writeRecord(MappedByteBuffer buffer, int pos, byte[] record) {
+		buffer.putInt(pos, record.length);
+		buffer.putInt(pos + 4, checksum(ByteBuffer.wrap(record)));
+		buffer.put(pos + RECORD_HEADER_SIZE, record);
+		return pos + RECORD_HEADER_SIZE + record.length;
+	}
+
+	private static int checksum(ByteBuffer record) {
+		CRC32 crc = new CRC32();
+		crc.update(record.duplicate());
+		return (int) crc.getValue();
+	}
+
+	private static byte[] encodeRecord(Key key, GUIState state) {
+		byte[] guiId = key.guiId().getBytes(StandardCharsets.UTF_8);
+		int size = 1 + 16 + 4 + guiId.length;
+		byte[][] values = null;
+		if (state != null) {
+			values = new byte[state.getValues().size() * 2][];
+			int i = 0;
+			for (Map.Entry<String, String> entry : state.getValues().entrySet()) {
+				values[i++] = entry.getKey().getBytes(StandardCharsets.UTF_8);
+				values[i++] = entry.getValue().getBytes(StandardCharsets.UTF_8);
+			}
+			size += 4 + 4 + 4;
+			for (byte[] value : values) size += 4 + value.length;
+		}
+		ByteBuffer record = ByteBuffer.allocate(size);
+		record.put(state == null ? RECORD_REMOVE : RECORD_PUT);
+		record.putLong(key.player().getMostSignificantBits());
+		record.putLong(key.player().getLeastSignificantBits());
+		record.putInt(guiId.length).put(guiId);
+		if (state != null) {
+			record.putInt(state.getScrollPos());
+			record.putInt(state.getPage());
+			record.putInt(values.length / 2);
+			for (byte[] value : values) record.putInt(value.length).put(value);
+		}
+		return record.array();
+	}
+
+	private static String readString(ByteBuffer record) {
+		int length = record.getInt();
+		if (length < 0 || length > record.remaining()) throw new IllegalArgumentException("Invalid string length");
+		byte[] bytes = new byte[length];
+		record.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private record Key(UUID player, String guiId) {}
+
+}
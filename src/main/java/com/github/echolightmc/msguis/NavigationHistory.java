@@ -0,0 +1,56 @@
+package com.github.echolightmc.msguis;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Per-player back/forward history of opened GUIs. Previous GUIs are retained as-is (including scroll position and
+ * dynamic item state) so going back reopens them instead of rebuilding them. Generic only so the logic can be checked
+ * without a server.
+ * <p>
+ * Synchronized since it is navigated from the player's thread while GUIs can be unregistered from any thread.
+ */
+final class NavigationHistory<T> {
+
+	private final int maxDepth;
+	private final Deque<T> backStack = new ArrayDeque<>();
+	private final Deque<T> forwardStack = new ArrayDeque<>();
+	private T current;
+
+	NavigationHistory(int maxDepth) {
+		this.maxDepth = maxDepth;
+	}
+
+	synchronized void push(T gui) {
+		if (current == gui) return;
+		if (current != null) retain(backStack, current);
+		current = gui;
+		forwardStack.clear();
+	}
+
+	synchronized T back() {
+		if (backStack.isEmpty()) return null;
+		if (current != null) retain(forwardStack, current);
+		current = backStack.pop();
+		return current;
+	}
+
+	synchronized T forward() {
+		if (forwardStack.isEmpty()) return null;
+		if (current != null) retain(backStack, current);
+		current = forwardStack.pop();
+		return current;
+	}
+
+	synchronized void remove(T gui) {
+		backStack.removeIf(entry -> entry == gui);
+		forwardStack.removeIf(entry -> entry == gui);
+		if (current == gui) current = null;
+	}
+
+	private void retain(Deque<T> stack, T gui) {
+		stack.push(gui);
+		if (stack.size() > maxDepth) stack.removeLast(); // drop the oldest entry once the depth bound is hit
+	}
+
+}
@@ -10,6 +10,10 @@ public class NormalGUI extends ChestGUI {
 		super(chestType, title, guiManager, format, itemMap, indicators);
 	}
 
+	protected NormalGUI(GUILayout layout, Component title, GUIManager guiManager, Map<Character, GUIItem> itemMap, Map<Indicator, Character> indicators) {
+		super(layout, title, guiManager, itemMap, indicators);
+	}
+
 	public static NormalGUIBuilder builder() {
 		return new NormalGUIBuilder();
 	}
@@ -20,6 +24,7 @@ public class NormalGUI extends ChestGUI {
 
 		@Override
 		protected NormalGUI provideGUI() {
+			if (layout != null) return new NormalGUI(layout, title, this.guiManager, this.itemMap, this.indicators);
 			return new NormalGUI(chestType, title, this.guiManager, this.format, this.itemMap, this.indicators);
 		}
 
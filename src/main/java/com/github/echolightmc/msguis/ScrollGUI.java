@@ -25,6 +25,13 @@ public class ScrollGUI extends ChestGUI {
 		fillScrollContent();
 	}
 
+	protected ScrollGUI(GUILayout layout, Component title, GUIManager guiManager, Map<Character, GUIItem> itemMap,
+						Map<Indicator, Character> indicators, List<? extends GUIItem> content) {
+		super(layout, title, guiManager, itemMap, indicators);
+		this.content = content == null ? new ArrayList<>() : content;
+		fillScrollContent();
+	}
+
 	public void scroll(int amount) {
 		int proposedScrollPos = currentScrollPos + amount;
 		if (proposedScrollPos < 0) return; // low bound check
@@ -37,6 +44,31 @@ public class ScrollGUI extends ChestGUI {
 		fillScrollContent();
 	}
 
+	/**
+	 * Scrolls to the given position, e.g. one restored from a {@link GUIStateStore}. The position is checked against
+	 * the current content, so one saved before the content shrank leaves the GUI where it is. Like {@link #scroll(int)},
+	 * a page may only have as many empty slots as the largest forward scroll of this GUI's {@link ScrollGUIItem}s.
+	 *
+	 * @param scrollPos the position to scroll to
+	 */
+	public void scrollTo(int scrollPos) {
+		if (scrollPos == currentScrollPos || scrollPos < 0) return;
+		if (scrollPos > 0) {
+			int remainingItems = content.size()-scrollPos;
+			if (remainingItems <= 0 || getScrollSlots().length-remainingItems > getMaxScrollStep()) return;
+		}
+		currentScrollPos = scrollPos;
+		fillScrollContent();
+	}
+
+	private int getMaxScrollStep() {
+		int maxStep = 0;
+		for (GUIItem item : itemMap.values()) {
+			if (item instanceof ScrollGUIItem scrollItem) maxStep = Math.max(maxStep, scrollItem.getScroll());
+		}
+		return maxStep == 0 ? getScrollSlots().length : maxStep;
+	}
+
 	public void setContent(List<? extends GUIItem> content) {
 		this.content = content;
 		fillScrollContent();
@@ -139,6 +171,7 @@ public class ScrollGUI extends ChestGUI {
 
 		@Override
 		protected ScrollGUI provideGUI() {
+			if (layout != null) return new ScrollGUI(layout, title, guiManager, itemMap, indicators, content);
 			return new ScrollGUI(chestType, title, guiManager, format, itemMap, indicators, content);
 		}
 
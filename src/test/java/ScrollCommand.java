@@ -1,4 +1,4 @@
-import com.github.echolightmc.msguis.Indicator;
+import com.github.echolightmc.msguis.GUIFormat;
 import com.github.echolightmc.msguis.ScrollGUI;
 import com.github.echolightmc.msguis.ScrollGUIItem;
 import com.github.echolightmc.msguis.StaticGUIItem;
@@ -16,18 +16,19 @@ public class ScrollCommand extends Command {
 	private static final ItemStack BORDER = ItemStack.of(Material.GRAY_STAINED_GLASS_PANE).withCustomName(Component.empty());
 	private static final ItemStack SCROLL_BACK = ItemStack.of(Material.ARROW).withCustomName(Component.text("Scroll Back"));
 	private static final ItemStack SCROLL = ItemStack.of(Material.ARROW).withCustomName(Component.text("Scroll Forward"));
+	@GUIFormat(value = "ScrollLayout", contentSlot = ' ')
+	private static final String FORMAT = """
+			#########
+			#       #
+			#       #
+			#       #
+			#       #
+			###<#>###""";
 	private static final ScrollGUI GUI = ScrollGUI.builder()
 												 .manager(DemoMain.GUI_MANAGER)
 												 .titled("<red>Scroll GUI")
-												 .format("""
-															#########
-															#       #
-															#       #
-															#       #
-															#       #
-															###<#>###""")
+												 .layout(ScrollLayout.LAYOUT)
 												 .item('#', new StaticGUIItem(BORDER))
-												 .item(' ', Indicator.CONTENT_SLOT)
 												 .item('<', new ScrollGUIItem(-7, SCROLL_BACK))
 												 .item('>', new ScrollGUIItem(7, SCROLL))
 												 .scrollContent(List.of(new StaticGUIItem(ItemStack.of(Material.BOW))))
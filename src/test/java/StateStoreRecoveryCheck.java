@@ -0,0 +1,111 @@
+import com.github.echolightmc.msguis.GUIState;
+import com.github.echolightmc.msguis.GUIStateStore;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reopens a {@link GUIStateStore} after corrupting and truncating the tail of its file, the way a crash during a
+ * flush would leave it, and checks that only the damaged record is lost.
+ */
+public class StateStoreRecoveryCheck {
+
+	private static final UUID PLAYER = UUID.randomUUID();
+
+	public static void main(String[] args) throws IOException {
+		Path directory = Files.createTempDirectory("msguis-state");
+		Path file = directory.resolve("state.bin");
+
+		write(file, "first", GUIState.EMPTY.withScrollPos(7).with("tab", "weapons"));
+		write(file, "second", GUIState.EMPTY.withPage(2));
+		write(file, "second", GUIState.EMPTY.withPage(3));
+
+		// flip a byte in the payload of the last record, its length stays intact
+		List<Integer> records = recordOffsets(file);
+		int last = records.get(records.size() - 1);
+		try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+			raf.seek(last + 8 + 20);
+			int b = raf.read();
+			raf.seek(last + 8 + 20);
+			raf.write(b ^ 0xFF);
+		}
+		try (GUIStateStore store = GUIStateStore.open(file)) {
+			check(store.get(PLAYER, "first").getScrollPos() == 7, "first record survives a corrupted tail");
+			check("weapons".equals(store.get(PLAYER, "first").get("tab")), "first record keeps its values");
+			check(store.get(PLAYER, "second").getPage() == 2, "corrupted record is dropped, previous one is kept");
+			store.put(PLAYER, "third", GUIState.EMPTY.withScrollPos(14));
+		}
+		try (GUIStateStore store = GUIStateStore.open(file)) {
+			check(store.get(PLAYER, "third").getScrollPos() == 14, "records written after recovery are loaded");
+		}
+
+		// cut the file in the middle of the last record
+		records = recordOffsets(file);
+		last = records.get(records.size() - 1);
+		try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+			raf.setLength(last + 12);
+		}
+		try (GUIStateStore store = GUIStateStore.open(file)) {
+			check(store.get(PLAYER, "third").getScrollPos() == 0, "truncated record is dropped");
+			check(store.get(PLAYER, "first").getScrollPos() == 7, "records before the truncation survive");
+			store.close(); // closing twice is a no-op
+		}
+
+		// a corrupted length close to Integer.MAX_VALUE must not overflow the bounds check
+		records = recordOffsets(file);
+		int end = records.get(records.size() - 1) + 8 + lengthAt(file, records.get(records.size() - 1));
+		try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+			raf.seek(end);
+			raf.writeInt(Integer.MAX_VALUE - 4);
+		}
+		try (GUIStateStore store = GUIStateStore.open(file)) {
+			check(store.get(PLAYER, "first").getScrollPos() == 7, "records before an overflowing length survive");
+		}
+
+		Path garbage = directory.resolve("garbage.yml");
+		byte[] garbageBytes = "menus:\n  shop: true\n".getBytes(StandardCharsets.UTF_8);
+		Files.write(garbage, garbageBytes);
+		try (GUIStateStore ignored = GUIStateStore.open(garbage)) {
+			check(false, "opening a file that isn't a state store fails");
+		} catch (IOException expected) {
+			check(Arrays.equals(Files.readAllBytes(garbage), garbageBytes), "a rejected file is left untouched");
+			Files.delete(garbage); // the handle was released
+		}
+
+		System.out.println("State store recovery checks passed");
+	}
+
+	private static void write(Path file, String guiId, GUIState state) throws IOException {
+		try (GUIStateStore store = GUIStateStore.open(file)) {
+			store.put(PLAYER, guiId, state);
+		}
+	}
+
+	private static List<Integer> recordOffsets(Path file) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+		List<Integer> offsets = new ArrayList<>();
+		int pos = 8; // file header
+		while (pos + 8 <= buffer.limit() && buffer.getInt(pos) > 0) {
+			offsets.add(pos);
+			pos += 8 + buffer.getInt(pos);
+		}
+		return offsets;
+	}
+
+	private static int lengthAt(Path file, int offset) throws IOException {
+		return ByteBuffer.wrap(Files.readAllBytes(file)).getInt(offset);
+	}
+
+	private static void check(boolean condition, String description) {
+		if (!condition) throw new IllegalStateException("Failed: " + description);
+	}
+
+}
@@ -0,0 +1,46 @@
+package com.github.echolightmc.msguis;
+
+/**
+ * Exercises the back/forward logic of {@link NavigationHistory} without a server, using strings as GUIs.
+ */
+public class NavigationHistoryCheck {
+
+	public static void main(String[] args) {
+		NavigationHistory<String> history = new NavigationHistory<>(2);
+		check(history.back() == null, "nothing to go back to when empty");
+
+		history.push("category");
+		history.push("subcategory");
+		history.push("item");
+		check("subcategory".equals(history.back()), "back reopens the previous GUI");
+		check("item".equals(history.forward()), "forward reopens the GUI navigated back from");
+		check(history.forward() == null, "nothing to go forward to at the newest GUI");
+
+		history.back();
+		history.push("other item");
+		check(history.forward() == null, "pushing clears the forward stack");
+
+		// depth 2: pushing a fourth GUI evicts the oldest one
+		history.push("details");
+		check("other item".equals(history.back()), "back within the depth bound");
+		check("subcategory".equals(history.back()), "back within the depth bound");
+		check(history.back() == null, "the oldest GUI was evicted once the depth bound was hit");
+
+		NavigationHistory<String> removal = new NavigationHistory<>(10);
+		removal.push("category");
+		removal.push("subcategory");
+		removal.push("item");
+		removal.remove("item");
+		check("subcategory".equals(removal.back()), "back after removing the current GUI reopens the previous one");
+		check(removal.forward() == null, "the removed current GUI isn't kept for forward navigation");
+		removal.remove("category");
+		check(removal.back() == null, "removed GUIs are dropped from the back stack");
+
+		System.out.println("Navigation history checks passed");
+	}
+
+	private static void check(boolean condition, String description) {
+		if (!condition) throw new IllegalStateException("Failed: " + description);
+	}
+
+}